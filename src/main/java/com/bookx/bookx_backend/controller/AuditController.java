@@ -0,0 +1,30 @@
+package com.bookx.bookx_backend.controller;
+
+import com.bookx.bookx_backend.model.AuditEvent;
+import com.bookx.bookx_backend.model.AuditEventType;
+import com.bookx.bookx_backend.service.AuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditController {
+    private final AuditService auditService;
+
+    // Users may only read their own trail.
+    @GetMapping
+    public ResponseEntity<List<AuditEvent>> myEvents(
+            @RequestParam(required = false) AuditEventType type,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication auth) {
+        return ResponseEntity.ok(auditService.findRecent(auth.getName(), type, limit));
+    }
+}
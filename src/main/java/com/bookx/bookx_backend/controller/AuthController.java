@@ -2,19 +2,28 @@ package com.bookx.bookx_backend.controller;
 
 import com.bookx.bookx_backend.dto.AuthRequest;
 import com.bookx.bookx_backend.dto.AuthResponse;
+import com.bookx.bookx_backend.dto.AvailabilityResponse;
 import com.bookx.bookx_backend.dto.UserDto;
+import com.bookx.bookx_backend.model.AuditEventType;
 import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.service.AuditService;
 import com.bookx.bookx_backend.service.AuthService;
+import com.bookx.bookx_backend.service.AvailabilityService;
+import com.bookx.bookx_backend.service.IdempotencyService;
 import com.bookx.bookx_backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -24,20 +33,44 @@ import org.springframework.web.server.ResponseStatusException;
 public class AuthController {
     private final UserService userService;
     private final AuthService authService;
+    private final AvailabilityService availabilityService;
+    private final AuditService auditService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping(value = "/register", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> registerUser(@Valid @RequestBody UserDto userDto){
-        User savedUser = userService.registerUser(userDto);
-        return ResponseEntity.ok(savedUser);
+    public ResponseEntity<?> registerUser(@Valid @RequestBody UserDto userDto,
+                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                          HttpServletRequest request){
+        return idempotencyService.execute(idempotencyKey, IdempotencyService.REGISTER_SCOPE, userDto, () -> {
+            User savedUser = userService.registerUser(userDto);
+            auditService.record(AuditEventType.REGISTRATION, savedUser.getUsername(), request.getRemoteAddr());
+            return ResponseEntity.ok(savedUser);
+        });
     }
 
     @PostMapping(value = "/login", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest authReq){
-        try{
-            String token = authService.authenticateAndGetToken(authReq);
-            return ResponseEntity.ok(new AuthResponse(token));
-        }catch (BadCredentialsException ex){
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest authReq,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                              HttpServletRequest request){
+        return idempotencyService.execute(idempotencyKey, IdempotencyService.LOGIN_SCOPE, authReq, () -> {
+            try{
+                String token = authService.authenticateAndGetToken(authReq);
+                auditService.record(AuditEventType.LOGIN_SUCCESS, authReq.getUsername(), request.getRemoteAddr());
+                return ResponseEntity.ok(new AuthResponse(token));
+            }catch (BadCredentialsException ex){
+                auditService.record(AuditEventType.LOGIN_FAILURE, authReq.getUsername(), request.getRemoteAddr());
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
+            }
+        });
+    }
+
+    @GetMapping(value = "/availability", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AvailabilityResponse> availability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "username or email is required");
         }
+        return ResponseEntity.ok(availabilityService.check(username, email));
     }
 }
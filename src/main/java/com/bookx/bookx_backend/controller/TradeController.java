@@ -0,0 +1,47 @@
+package com.bookx.bookx_backend.controller;
+
+import com.bookx.bookx_backend.dto.TradeMessageRequest;
+import com.bookx.bookx_backend.model.TradeMessage;
+import com.bookx.bookx_backend.service.StreamHub;
+import com.bookx.bookx_backend.service.TradeMessageService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class TradeController {
+    private final TradeMessageService tradeMessageService;
+    private final StreamHub streamHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication auth) {
+        return streamHub.connect(auth.getName());
+    }
+
+    @PostMapping(value = "/trades/messages", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TradeMessage> sendMessage(@Valid @RequestBody TradeMessageRequest request,
+                                                    Authentication auth) {
+        return ResponseEntity.ok(tradeMessageService.send(auth.getName(), request));
+    }
+
+    @GetMapping("/trades/messages/{username}")
+    public ResponseEntity<List<TradeMessage>> history(@PathVariable String username,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      Authentication auth) {
+        return ResponseEntity.ok(tradeMessageService.history(auth.getName(), username, limit));
+    }
+}
@@ -1,7 +1,9 @@
 package com.bookx.bookx_backend.controller;
 
+import com.bookx.bookx_backend.dto.UserSuggestion;
 import com.bookx.bookx_backend.model.User;
 import com.bookx.bookx_backend.repository.UserRepository;
+import com.bookx.bookx_backend.service.UserSuggestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,14 +11,27 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserRepository userRepository;
+    private final UserSuggestionService userSuggestionService;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestion>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication auth) {
+        String self = auth != null ? auth.getName() : null;
+        return ResponseEntity.ok(userSuggestionService.suggest(query, limit, self));
+    }
 
     @GetMapping("/{username}")
     public ResponseEntity<User> getProfile(
@@ -0,0 +1,19 @@
+package com.bookx.bookx_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeMessageRequest {
+    @NotBlank(message = "Recipient is required")
+    private String recipient;
+
+    @NotBlank(message = "Message body is required")
+    @Size(max = 2000, message = "Message body must be at most 2000 characters")
+    private String body;
+}
@@ -0,0 +1,12 @@
+package com.bookx.bookx_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserSuggestion {
+    private String username;
+    private String fullName;
+    private Double distanceKm;
+}
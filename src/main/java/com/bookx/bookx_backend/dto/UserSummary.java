@@ -0,0 +1,16 @@
+package com.bookx.bookx_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String fullName;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,6 @@
+package com.bookx.bookx_backend.event;
+
+import com.bookx.bookx_backend.model.User;
+
+public record UserRegisteredEvent(User user) {
+}
@@ -1,5 +1,8 @@
 package com.bookx.bookx_backend.filter;
 
+import com.bookx.bookx_backend.model.AuditEventType;
+import com.bookx.bookx_backend.service.ActivityTracker;
+import com.bookx.bookx_backend.service.AuditService;
 import com.bookx.bookx_backend.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,19 +23,32 @@ import java.io.IOException;
 @RequiredArgsConstructor
 @Profile("!test")
 public class JwtFilter extends OncePerRequestFilter {
+    private static final String STREAM_PATH = "/api/stream";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final AuditService auditService;
+    private final ActivityTracker activityTracker;
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain) throws ServletException, IOException{
         String authHeader = req.getHeader("Authorization");
+        String token = null;
         if(authHeader != null && authHeader.startsWith("Bearer ")){
-            String token = authHeader.substring(7);
+            token = authHeader.substring(7);
+        }else if(STREAM_PATH.equals(req.getServletPath())){
+            // EventSource cannot set headers, so the stream accepts the token as a query parameter.
+            token = req.getParameter("access_token");
+        }
+        if(token != null){
             if(jwtUtil.validateToken(token)){
                 String username = jwtUtil.extractUsername(token);
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                activityTracker.touch(username);
+            }else{
+                auditService.record(AuditEventType.TOKEN_REJECTED, null, req.getRemoteAddr());
             }
         }
         chain.doFilter(req,res);
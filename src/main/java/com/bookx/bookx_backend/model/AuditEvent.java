@@ -0,0 +1,33 @@
+package com.bookx.bookx_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "audit_events", indexes = @Index(name = "idx_audit_principal_time", columnList = "principal, occurred_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
+    private AuditEventType eventType;
+
+    private String principal;
+
+    @Column(length = 64)
+    private String remoteAddress;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
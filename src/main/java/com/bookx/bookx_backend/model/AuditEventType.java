@@ -0,0 +1,8 @@
+package com.bookx.bookx_backend.model;
+
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    REGISTRATION,
+    TOKEN_REJECTED
+}
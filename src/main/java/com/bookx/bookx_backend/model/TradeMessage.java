@@ -0,0 +1,30 @@
+package com.bookx.bookx_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "trade_messages", indexes = @Index(name = "idx_trade_conversation", columnList = "sender, recipient, sent_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sender;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false, length = 2000)
+    private String body;
+
+    @Column(name = "sent_at", nullable = false)
+    private Instant sentAt;
+}
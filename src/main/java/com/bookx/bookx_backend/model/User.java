@@ -36,6 +36,12 @@ public class User {
 
     private Instant registeredAt;
 
+    private Instant lastSeenAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long activityCount = 0;
+
     @Builder.Default
     @Column(nullable = false)
     private boolean enabled = true;
@@ -0,0 +1,13 @@
+package com.bookx.bookx_backend.repository;
+
+import com.bookx.bookx_backend.model.AuditEvent;
+import com.bookx.bookx_backend.model.AuditEventType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+    List<AuditEvent> findByPrincipalOrderByOccurredAtDesc(String principal, Pageable pageable);
+    List<AuditEvent> findByPrincipalAndEventTypeOrderByOccurredAtDesc(String principal, AuditEventType eventType, Pageable pageable);
+}
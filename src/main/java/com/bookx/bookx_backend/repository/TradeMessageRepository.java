@@ -0,0 +1,14 @@
+package com.bookx.bookx_backend.repository;
+
+import com.bookx.bookx_backend.model.TradeMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TradeMessageRepository extends JpaRepository<TradeMessage, Long> {
+    @Query("select m from TradeMessage m where (m.sender = :a and m.recipient = :b) or (m.sender = :b and m.recipient = :a) order by m.sentAt desc")
+    List<TradeMessage> findConversation(@Param("a") String a, @Param("b") String b, Pageable pageable);
+}
@@ -1,12 +1,24 @@
 package com.bookx.bookx_backend.repository;
 
+import com.bookx.bookx_backend.dto.UserSummary;
 import com.bookx.bookx_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
+
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
+
+    @Query("select new com.bookx.bookx_backend.dto.UserSummary(u.id, u.username, u.fullName, u.latitude, u.longitude) from User u")
+    List<UserSummary> findAllSummaries();
 }
@@ -0,0 +1,125 @@
+package com.bookx.bookx_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind "last seen" tracking. Authenticated requests only touch an in-memory entry per user;
+ * a scheduled flush writes the coalesced count and latest timestamp for each user with one batched
+ * UPDATE, so N requests from a user between flushes cost one row write. On MySQL the batch only goes
+ * out as a single round trip per chunk with {@code rewriteBatchedStatements=true} on the datasource URL.
+ */
+@Slf4j
+@Service
+public class ActivityTracker {
+    private static final String UPDATE_SQL = "UPDATE users SET "
+            + "last_seen_at = CASE WHEN last_seen_at IS NULL OR last_seen_at < ? THEN ? ELSE last_seen_at END, "
+            + "activity_count = activity_count + ? "
+            + "WHERE username = ?";
+
+    private record PendingUpdate(String username, long count, long lastSeenMillis) {
+    }
+
+    private static final class Touch {
+        private long count;
+        private long lastSeenMillis;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    // compute() locks only the bin holding the user, so touches for different users don't contend,
+    // and every touch lands either in the entry a flush removes or in a fresh one for the next flush.
+    private final Map<String, Touch> pending = new ConcurrentHashMap<>();
+
+    private final Counter touches;
+    private final Counter rowsFlushed;
+    private final Timer flushLatency;
+
+    public ActivityTracker(JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${bookx.activity.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+
+        this.touches = meterRegistry.counter("bookx.activity.touches");
+        this.rowsFlushed = meterRegistry.counter("bookx.activity.rows.flushed");
+        this.flushLatency = meterRegistry.timer("bookx.activity.flush.latency");
+        Gauge.builder("bookx.activity.pending", pending, Map::size).register(meterRegistry);
+        Gauge.builder("bookx.activity.coalescing.ratio", this,
+                        t -> t.rowsFlushed.count() == 0 ? 0 : t.touches.count() / t.rowsFlushed.count())
+                .register(meterRegistry);
+    }
+
+    public void touch(String username) {
+        long now = System.currentTimeMillis();
+        pending.compute(username, (k, touch) -> {
+            Touch t = touch != null ? touch : new Touch();
+            t.count++;
+            t.lastSeenMillis = Math.max(t.lastSeenMillis, now);
+            return t;
+        });
+        touches.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${bookx.activity.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<PendingUpdate> updates = new ArrayList<>(pending.size());
+        for (String username : pending.keySet()) {
+            Touch touch = pending.remove(username);
+            if (touch != null) {
+                updates.add(new PendingUpdate(username, touch.count, touch.lastSeenMillis));
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, batchSize, (ps, update) -> {
+                Timestamp lastSeen = new Timestamp(update.lastSeenMillis());
+                ps.setTimestamp(1, lastSeen);
+                ps.setTimestamp(2, lastSeen);
+                ps.setLong(3, update.count());
+                ps.setString(4, update.username());
+            });
+            rowsFlushed.increment(updates.size());
+        } catch (DataAccessException ex) {
+            log.warn("Failed to flush activity for {} users, will retry: {}", updates.size(), ex.getMessage());
+            updates.forEach(this::requeue);
+        } finally {
+            sample.stop(flushLatency);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void requeue(PendingUpdate update) {
+        pending.compute(update.username(), (k, touch) -> {
+            Touch t = touch != null ? touch : new Touch();
+            t.count += update.count();
+            t.lastSeenMillis = Math.max(t.lastSeenMillis, update.lastSeenMillis());
+            return t;
+        });
+    }
+}
@@ -0,0 +1,197 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.model.AuditEvent;
+import com.bookx.bookx_backend.model.AuditEventType;
+import com.bookx.bookx_backend.repository.AuditEventRepository;
+import com.bookx.bookx_backend.util.AuditRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Auth audit trail. Request threads publish into a preallocated {@link AuditRingBuffer}; a single
+ * writer thread drains it and inserts into {@code audit_events} with JDBC batching.
+ */
+@Slf4j
+@Service
+public class AuditService {
+    public enum BackpressurePolicy {
+        /** Drop the event immediately when the ring is full. */
+        DROP,
+        /** Spin-wait up to the configured block timeout for space, then drop. */
+        BLOCK
+    }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_events (event_type, principal, remote_address, occurred_at) VALUES (?, ?, ?, ?)";
+    private static final AuditEventType[] TYPES = AuditEventType.values();
+    private static final int MAX_QUERY_LIMIT = 200;
+    // Backstop only: an idle writer is normally woken by record().
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditEventRepository auditEventRepository;
+    private final AuditRingBuffer ring;
+    private final BackpressurePolicy policy;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private final int[] batchTypes;
+    private final long[] batchTimestamps;
+    private final String[] batchPrincipals;
+    private final String[] batchSources;
+    private int batchCount;
+    private final AuditRingBuffer.Handler batchAppender = this::addToBatch;
+
+    private volatile boolean running;
+    private volatile boolean writerIdle;
+    private volatile Thread writer;
+
+    public AuditService(JdbcTemplate jdbcTemplate,
+                        AuditEventRepository auditEventRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${bookx.audit.capacity:8192}") int capacity,
+                        @Value("${bookx.audit.batch-size:256}") int batchSize,
+                        @Value("${bookx.audit.backpressure:DROP}") BackpressurePolicy policy,
+                        @Value("${bookx.audit.block-timeout-ms:5}") long blockTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditEventRepository = auditEventRepository;
+        this.ring = new AuditRingBuffer(capacity);
+        this.policy = policy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.batchSize = batchSize;
+
+        this.batchTypes = new int[batchSize];
+        this.batchTimestamps = new long[batchSize];
+        this.batchPrincipals = new String[batchSize];
+        this.batchSources = new String[batchSize];
+
+        this.published = meterRegistry.counter("bookx.audit.events", "outcome", "published");
+        this.dropped = meterRegistry.counter("bookx.audit.events", "outcome", "dropped");
+        this.written = meterRegistry.counter("bookx.audit.events", "outcome", "written");
+        this.failed = meterRegistry.counter("bookx.audit.events", "outcome", "failed");
+        Gauge.builder("bookx.audit.queue.depth", ring, AuditRingBuffer::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void record(AuditEventType type, String principal, String remoteAddress) {
+        long now = System.currentTimeMillis();
+        boolean accepted = ring.tryPublish(type.ordinal(), now, principal, remoteAddress);
+        if (!accepted && policy == BackpressurePolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (!accepted && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+                accepted = ring.tryPublish(type.ordinal(), now, principal, remoteAddress);
+            }
+        }
+        (accepted ? published : dropped).increment();
+        if (accepted && writerIdle) {
+            writerIdle = false;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public List<AuditEvent> findRecent(String principal, AuditEventType type, int limit) {
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_QUERY_LIMIT));
+        return type == null
+                ? auditEventRepository.findByPrincipalOrderByOccurredAtDesc(principal, page)
+                : auditEventRepository.findByPrincipalAndEventTypeOrderByOccurredAtDesc(principal, type, page);
+    }
+
+    private void runWriter() {
+        while (running) {
+            if (drainOnce() == 0) {
+                writerIdle = true;
+                // Re-check after advertising idleness so an event published just before is not missed.
+                if (ring.size() == 0 && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+        while (drainOnce() > 0) {
+            // flush whatever was published before shutdown
+        }
+    }
+
+    private int drainOnce() {
+        batchCount = 0;
+        int drained = ring.drain(batchSize, batchAppender);
+        if (drained > 0) {
+            writeBatch();
+        }
+        return drained;
+    }
+
+    private void addToBatch(int type, long timestamp, String principal, String source) {
+        batchTypes[batchCount] = type;
+        batchTimestamps[batchCount] = timestamp;
+        batchPrincipals[batchCount] = principal;
+        batchSources[batchCount] = source;
+        batchCount++;
+    }
+
+    private void writeBatch() {
+        int count = batchCount;
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, TYPES[batchTypes[i]].name());
+                    ps.setString(2, batchPrincipals[i]);
+                    ps.setString(3, batchSources[i]);
+                    ps.setTimestamp(4, Timestamp.from(Instant.ofEpochMilli(batchTimestamps[i])));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+            written.increment(count);
+        } catch (DataAccessException ex) {
+            failed.increment(count);
+            log.warn("Failed to write {} audit events: {}", count, ex.getMessage());
+        } finally {
+            Arrays.fill(batchPrincipals, 0, count, null);
+            Arrays.fill(batchSources, 0, count, null);
+        }
+    }
+}
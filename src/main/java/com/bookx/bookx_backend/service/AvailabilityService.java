@@ -0,0 +1,117 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.dto.AvailabilityResponse;
+import com.bookx.bookx_backend.event.UserRegisteredEvent;
+import com.bookx.bookx_backend.repository.UserRepository;
+import com.bookx.bookx_backend.util.BloomFilter;
+import com.bookx.bookx_backend.util.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Answers "is this username/email free?" from in-memory Bloom filters. A filter miss answers
+ * "available" without a query; a hit falls through to the indexed exists query, since it may be a
+ * false positive. Keys are {@link TextNormalizer#fold folded}, which only approximates the column
+ * collation, so "available" is advisory and registration's unique check stays authoritative.
+ */
+@Slf4j
+@Service
+public class AvailabilityService {
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private final Counter definiteNegatives;
+    private final Counter truePositives;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter emails;
+    private volatile boolean ready;
+
+    public AvailabilityService(UserRepository userRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${bookx.availability.expected-users:100000}") long expectedUsers,
+                               @Value("${bookx.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.definiteNegatives = meterRegistry.counter("bookx.availability.checks", "result", "definite_negative");
+        this.truePositives = meterRegistry.counter("bookx.availability.checks", "result", "true_positive");
+        this.falsePositives = meterRegistry.counter("bookx.availability.checks", "result", "false_positive");
+        Gauge.builder("bookx.availability.filter.bytes", this,
+                        s -> s.ready ? s.usernames.sizeInBytes() + s.emails.sizeInBytes() : 0)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("bookx.availability.filter.expected_fpp", this,
+                        s -> s.ready ? s.usernames.expectedFalsePositiveRate() : 0)
+                .tag("field", "username")
+                .register(meterRegistry);
+        Gauge.builder("bookx.availability.filter.expected_fpp", this,
+                        s -> s.ready ? s.emails.expectedFalsePositiveRate() : 0)
+                .tag("field", "email")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        // Publish the empty filters before reading the table so registrations committed while we load
+        // land in the new filters instead of being lost between the query and the swap.
+        BloomFilter newUsernames = BloomFilter.create(expectedUsers, falsePositiveRate);
+        BloomFilter newEmails = BloomFilter.create(expectedUsers, falsePositiveRate);
+        usernames = newUsernames;
+        emails = newEmails;
+
+        List<String> existingUsernames = userRepository.findAllUsernames();
+        existingUsernames.forEach(u -> newUsernames.put(TextNormalizer.fold(u)));
+        userRepository.findAllEmails().forEach(e -> newEmails.put(TextNormalizer.fold(e)));
+        ready = true;
+        log.info("Availability filters loaded with {} users", existingUsernames.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        BloomFilter currentUsernames = usernames;
+        BloomFilter currentEmails = emails;
+        if (currentUsernames != null) {
+            currentUsernames.put(TextNormalizer.fold(event.user().getUsername()));
+        }
+        if (currentEmails != null) {
+            currentEmails.put(TextNormalizer.fold(event.user().getEmail()));
+        }
+    }
+
+    public AvailabilityResponse check(String username, String email) {
+        Boolean usernameAvailable = username == null || username.isBlank()
+                ? null
+                : !isTaken(usernames, username, userRepository::existsByUsername);
+        Boolean emailAvailable = email == null || email.isBlank()
+                ? null
+                : !isTaken(emails, email, userRepository::existsByEmail);
+        return new AvailabilityResponse(usernameAvailable, emailAvailable);
+    }
+
+    private boolean isTaken(BloomFilter filter, String value, Predicate<String> existsQuery) {
+        if (ready && !filter.mightContain(TextNormalizer.fold(value))) {
+            definiteNegatives.increment();
+            return false;
+        }
+        boolean exists = existsQuery.test(value);
+        if (ready) {
+            (exists ? truePositives : falsePositives).increment();
+        }
+        return exists;
+    }
+}
@@ -0,0 +1,203 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates POSTs carrying an {@value #HEADER} header. Concurrent duplicates wait on the first
+ * request's computation (single flight); successful responses are kept for a TTL in a bounded map
+ * and replayed verbatim to later retries with the same key.
+ */
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String REGISTER_SCOPE = "register";
+    public static final String LOGIN_SCOPE = "login";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // Annotations are ignored so that e.g. @JsonIgnore on a password can never drop it from the fingerprint.
+    private static final ObjectMapper FINGERPRINT_MAPPER = JsonMapper.builder()
+            .disable(MapperFeature.USE_ANNOTATIONS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    private record Outcome(String fingerprint, ResponseEntity<?> response, long expiresAtMillis) {
+    }
+
+    // Random per process, so fingerprints cannot be looked up in precomputed tables or matched across
+    // restarts and instances.
+    private final SecretKeySpec fingerprintKey;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long loginTtlMillis;
+    private final int maxEntries;
+    private final Map<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+    // One insertion-ordered map per scope: every entry in a scope has the same TTL, so expired entries
+    // are always at the head and can be purged on insert.
+    private final Map<String, LinkedHashMap<String, Outcome>> completed = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyService(@Value("${bookx.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${bookx.idempotency.login-ttl-seconds:300}") long loginTtlSeconds,
+                              @Value("${bookx.idempotency.max-entries:10000}") int maxEntries) {
+        this(ttlSeconds, loginTtlSeconds, maxEntries, Clock.systemUTC());
+    }
+
+    IdempotencyService(long ttlSeconds, long loginTtlSeconds, int maxEntries, Clock clock) {
+        // A replayed login must never hand out a token that is about to expire (or already has).
+        if (TimeUnit.SECONDS.toMillis(loginTtlSeconds) > JwtUtil.EXPIRATION_MS / 4) {
+            throw new IllegalArgumentException("bookx.idempotency.login-ttl-seconds must be well under the token lifetime");
+        }
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.fingerprintKey = new SecretKeySpec(key, "HmacSHA256");
+        this.clock = clock;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.loginTtlMillis = TimeUnit.SECONDS.toMillis(loginTtlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Runs {@code action} at most once per {@code scope}/{@code key}. Without a key the action simply runs.
+     * The request is fingerprinted so a key reused for a different payload is rejected with 422.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " is too long");
+        }
+        String storeKey = scope + ':' + key;
+        String fingerprint = fingerprint(request);
+        LinkedHashMap<String, Outcome> store = completed.computeIfAbsent(scope, s -> new LinkedHashMap<>());
+
+        Outcome done = lookup(store, storeKey);
+        if (done != null) {
+            return (ResponseEntity<T>) replay(done, fingerprint);
+        }
+
+        CompletableFuture<Outcome> mine = new CompletableFuture<>();
+        CompletableFuture<Outcome> existing = inFlight.putIfAbsent(storeKey, mine);
+        if (existing != null) {
+            return (ResponseEntity<T>) replay(await(existing), fingerprint);
+        }
+        try {
+            // The previous holder may have finished between our lookup and claiming the slot.
+            done = lookup(store, storeKey);
+            if (done != null) {
+                mine.complete(done);
+                return (ResponseEntity<T>) replay(done, fingerprint);
+            }
+            ResponseEntity<T> response = action.get();
+            Outcome outcome = new Outcome(fingerprint, response, clock.millis() + ttlFor(scope));
+            if (response.getStatusCode().is2xxSuccessful()) {
+                store(store, storeKey, outcome);
+            }
+            mine.complete(outcome);
+            return response;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(storeKey, mine);
+        }
+    }
+
+    private long ttlFor(String scope) {
+        return LOGIN_SCOPE.equals(scope) ? loginTtlMillis : ttlMillis;
+    }
+
+    private Outcome lookup(LinkedHashMap<String, Outcome> store, String storeKey) {
+        synchronized (store) {
+            Outcome outcome = store.get(storeKey);
+            if (outcome != null && outcome.expiresAtMillis() <= clock.millis()) {
+                store.remove(storeKey);
+                return null;
+            }
+            return outcome;
+        }
+    }
+
+    private void store(LinkedHashMap<String, Outcome> store, String storeKey, Outcome outcome) {
+        synchronized (store) {
+            long now = clock.millis();
+            Iterator<Outcome> eldest = store.values().iterator();
+            while (eldest.hasNext()) {
+                Outcome next = eldest.next();
+                if (next.expiresAtMillis() > now && store.size() < maxEntries) {
+                    break;
+                }
+                eldest.remove();
+            }
+            store.put(storeKey, outcome);
+        }
+    }
+
+    private static Outcome await(CompletableFuture<Outcome> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static ResponseEntity<?> replay(Outcome outcome, String fingerprint) {
+        if (!outcome.fingerprint().equals(fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(outcome.response().getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return ResponseEntity.status(outcome.response().getStatusCode())
+                .headers(headers)
+                .body(outcome.response().getBody());
+    }
+
+    // Only a keyed HMAC of the request is kept, never the payload itself. Credentials still influence
+    // the stored value, so anyone holding a heap dump (which also contains the key) could test password
+    // guesses against it; the short login TTL limits how long such entries exist.
+    private String fingerprint(Object request) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(fingerprintKey);
+            return HexFormat.of().formatHex(mac.doFinal(FINGERPRINT_MAPPER.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request cannot be fingerprinted", e);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.repository.UserRepository;
+import com.bookx.bookx_backend.util.GeoUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Server-sent-event fan-out. Publishers only ever {@code offer} into a connection's bounded queue, so
+ * they never block on a slow client; a connection whose queue overflows is evicted. Each queue is
+ * drained by at most one dispatcher thread at a time, which keeps writes to an emitter sequential.
+ * The blocking socket write itself runs on a separate sender thread under a deadline: a client that
+ * stops reading costs its dispatcher at most that long before it is evicted, and only the sender
+ * thread stays parked in the write until the container gives up on the socket.
+ */
+@Slf4j
+@Service
+public class StreamHub {
+    private record Envelope(String event, Object data, long enqueuedNanos) {
+    }
+
+    final class Connection {
+        private final String username;
+        private final Double latitude;
+        private final Double longitude;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Envelope> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(String username, Double latitude, Double longitude, SseEmitter emitter) {
+            this.username = username;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final ExecutorService dispatchers;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    private final Map<String, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final Timer deliveryLatency;
+    private final Counter delivered;
+    private final Counter evicted;
+    private final Counter sendTimeouts;
+
+    public StreamHub(UserRepository userRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${bookx.stream.queue-capacity:64}") int queueCapacity,
+                     @Value("${bookx.stream.timeout-ms:1800000}") long timeoutMs,
+                     @Value("${bookx.stream.dispatch-threads:4}") int dispatchThreads,
+                     @Value("${bookx.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                     @Value("${bookx.stream.send-timeout-ms:2000}") long sendTimeoutMs) {
+        this.userRepository = userRepository;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.dispatchers = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "stream-dispatch-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // Unbounded, but a thread only outlives its send when that connection has already been evicted.
+        AtomicInteger senderIds = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stream-send-" + senderIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stream-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        this.deliveryLatency = Timer.builder("bookx.stream.delivery.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.delivered = meterRegistry.counter("bookx.stream.delivered");
+        this.evicted = meterRegistry.counter("bookx.stream.evicted");
+        this.sendTimeouts = meterRegistry.counter("bookx.stream.send.timeouts");
+        Gauge.builder("bookx.stream.connections", connectionCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public SseEmitter connect(String username) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(username,
+                user != null ? user.getLatitude() : null,
+                user != null ? user.getLongitude() : null,
+                emitter);
+        return emitter;
+    }
+
+    Connection register(String username, Double latitude, Double longitude, SseEmitter emitter) {
+        Connection connection = new Connection(username, latitude, longitude, emitter);
+        connections.compute(username, (k, set) -> {
+            Set<Connection> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(connection);
+            return target;
+        });
+        connectionCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+        enqueue(connection, "connected", Map.of("username", username));
+        return connection;
+    }
+
+    public void sendTo(String username, String event, Object data) {
+        Set<Connection> targets = connections.get(username);
+        if (targets != null) {
+            for (Connection connection : targets) {
+                enqueue(connection, event, data);
+            }
+        }
+    }
+
+    /**
+     * Pushes to every connected user, other than {@code exclude}, within {@code radiusKm} of the
+     * origin. The payload is built per recipient from the distance to them. The scan over all
+     * connections runs on a dispatcher thread, so the caller returns immediately.
+     */
+    public void publishNearby(double latitude, double longitude, double radiusKm, String exclude,
+                              String event, Function<Double, Object> payload) {
+        dispatchers.execute(() -> fanOutNearby(latitude, longitude, radiusKm, exclude, event, payload));
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        connections.values().forEach(set -> set.forEach(this::close));
+        dispatchers.shutdown();
+        senders.shutdownNow();
+    }
+
+    private void fanOutNearby(double latitude, double longitude, double radiusKm, String exclude,
+                              String event, Function<Double, Object> payload) {
+        for (Set<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                if (connection.latitude == null || connection.longitude == null
+                        || connection.username.equals(exclude)) {
+                    continue;
+                }
+                double distance = GeoUtil.distanceKm(latitude, longitude, connection.latitude, connection.longitude);
+                if (distance <= radiusKm) {
+                    enqueue(connection, event, payload.apply(distance));
+                }
+            }
+        }
+    }
+
+    private void heartbeat() {
+        connections.values().forEach(set -> set.forEach(c -> enqueue(c, null, null)));
+    }
+
+    private void enqueue(Connection connection, String event, Object data) {
+        if (connection.closed.get()) {
+            return;
+        }
+        if (!connection.queue.offer(new Envelope(event, data, System.nanoTime()))) {
+            evicted.increment();
+            log.debug("Evicting slow stream consumer {}", connection.username);
+            close(connection);
+            return;
+        }
+        if (connection.scheduled.compareAndSet(false, true)) {
+            dispatchers.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        do {
+            Envelope envelope;
+            while ((envelope = connection.queue.poll()) != null) {
+                if (connection.closed.get()) {
+                    connection.queue.clear();
+                    break;
+                }
+                SseEmitter.SseEventBuilder event = envelope.event() == null
+                        ? SseEmitter.event().comment("ping")
+                        : SseEmitter.event().name(envelope.event()).data(envelope.data(), MediaType.APPLICATION_JSON);
+                if (!send(connection, event)) {
+                    close(connection);
+                    break;
+                }
+                if (envelope.event() != null) {
+                    delivered.increment();
+                    deliveryLatency.record(System.nanoTime() - envelope.enqueuedNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            connection.scheduled.set(false);
+            // A publisher may have enqueued after our last poll but seen scheduled == true; re-check.
+        } while (!connection.queue.isEmpty() && connection.scheduled.compareAndSet(false, true));
+    }
+
+    /** Writes one event, waiting at most the send timeout; false means the connection must go. */
+    private boolean send(Connection connection, SseEmitter.SseEventBuilder event) {
+        Future<?> write;
+        try {
+            write = senders.submit(() -> {
+                connection.emitter.send(event);
+                return null;
+            });
+        } catch (RejectedExecutionException ex) {
+            return false;
+        }
+        try {
+            write.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException ex) {
+            write.cancel(true);
+            sendTimeouts.increment();
+            evicted.increment();
+            log.debug("Evicting stream consumer {} that missed the send deadline", connection.username);
+            return false;
+        } catch (ExecutionException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void close(Connection connection) {
+        if (remove(connection)) {
+            connection.queue.clear();
+            // complete() takes the emitter's write lock, which a stuck send may hold; never wait for it here.
+            try {
+                senders.execute(() -> {
+                    try {
+                        connection.emitter.complete();
+                    } catch (IllegalStateException ignored) {
+                        // already completed by the container
+                    }
+                });
+            } catch (RejectedExecutionException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    private boolean remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        connections.computeIfPresent(connection.username, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+        connectionCount.decrementAndGet();
+        return true;
+    }
+}
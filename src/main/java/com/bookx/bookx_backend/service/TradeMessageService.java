@@ -0,0 +1,67 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.dto.TradeMessageRequest;
+import com.bookx.bookx_backend.dto.UserSuggestion;
+import com.bookx.bookx_backend.event.UserRegisteredEvent;
+import com.bookx.bookx_backend.model.TradeMessage;
+import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.repository.TradeMessageRepository;
+import com.bookx.bookx_backend.repository.UserRepository;
+import com.bookx.bookx_backend.util.GeoUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TradeMessageService {
+    private static final int MAX_HISTORY = 200;
+
+    private final TradeMessageRepository tradeMessageRepository;
+    private final UserRepository userRepository;
+    private final StreamHub streamHub;
+
+    @Value("${bookx.stream.nearby-radius-km:25}")
+    private double nearbyRadiusKm;
+
+    public TradeMessage send(String sender, TradeMessageRequest request) {
+        if (sender.equals(request.getRecipient())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot message yourself");
+        }
+        if (!userRepository.existsByUsername(request.getRecipient())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        TradeMessage saved = tradeMessageRepository.save(TradeMessage.builder()
+                .sender(sender)
+                .recipient(request.getRecipient())
+                .body(request.getBody())
+                .sentAt(Instant.now())
+                .build());
+        streamHub.sendTo(saved.getRecipient(), "trade-message", saved);
+        streamHub.sendTo(saved.getSender(), "trade-message", saved);
+        return saved;
+    }
+
+    public List<TradeMessage> history(String username, String other, int limit) {
+        return tradeMessageRepository.findConversation(
+                username, other, PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_HISTORY)));
+    }
+
+    // There is no listing model yet, so a newly registered trader is the "new near you" signal.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        User user = event.user();
+        if (user.getLatitude() == null || user.getLongitude() == null) {
+            return;
+        }
+        streamHub.publishNearby(user.getLatitude(), user.getLongitude(), nearbyRadiusKm, user.getUsername(),
+                "nearby-trader", distance -> new UserSuggestion(user.getUsername(), user.getFullName(), GeoUtil.coarseDistanceKm(distance)));
+    }
+}
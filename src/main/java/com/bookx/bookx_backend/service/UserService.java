@@ -1,10 +1,12 @@
 package com.bookx.bookx_backend.service;
 
 import com.bookx.bookx_backend.dto.UserDto;
+import com.bookx.bookx_backend.event.UserRegisteredEvent;
 import com.bookx.bookx_backend.model.User;
 import com.bookx.bookx_backend.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,7 @@ import java.time.Instant;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public User registerUser(UserDto userDto) {
@@ -43,7 +46,9 @@ public class UserService {
                 .profileImageUrl(userDto.getProfileImageUrl())
                 .registeredAt(Instant.now())
                 .build();
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(saved));
+        return saved;
 
     }
 }
@@ -0,0 +1,333 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.dto.UserSuggestion;
+import com.bookx.bookx_backend.dto.UserSummary;
+import com.bookx.bookx_backend.event.UserRegisteredEvent;
+import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.repository.UserRepository;
+import com.bookx.bookx_backend.util.GeoUtil;
+import com.bookx.bookx_backend.util.LongHashSet;
+import com.bookx.bookx_backend.util.PrefixIndex;
+import com.bookx.bookx_backend.util.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Prefix autocomplete over usernames and folded full names. Reads go against an immutable snapshot of
+ * {@link PrefixIndex}es and never lock; writers build a new snapshot and publish it.
+ *
+ * <p>Every user is indexed under three key families, each a tag character followed by the text:
+ * <ul>
+ *   <li>{@code USERNAME} + username length + folded username</li>
+ *   <li>{@code NAME} + username length + each folded full-name key</li>
+ *   <li>a grid level tag + latitude cell + longitude cell + folded username or name token, once per
+ *       {@link GeoLevel} (located users only)</li>
+ * </ul>
+ * Name ranking (username matches first, then shortest username) is therefore a walk over a few
+ * contiguous ranges in key order that stops after {@code limit} hits, and proximity ranking only
+ * scans the grid cells around the caller instead of every match.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserSuggestionService {
+    private static final int MAX_LIMIT = 50;
+    // Registrations go into a small delta that is folded into the base once it reaches this many keys,
+    // so a signup copies the delta rather than the whole index.
+    private static final int DELTA_MERGE_THRESHOLD = 4096;
+
+    private static final char USERNAME = '\u0001';
+    private static final char NAME = '\u0002';
+    private static final double KM_PER_DEGREE = 111.19;
+    // Proximity search looks at a fine grid (~2 km cells, ~4 km radius) and, only if that cannot settle
+    // the answer, a coarse one (~55 km cells, ~110 km radius); anything further is ranked by name after
+    // the nearby hits. MAX_SCAN bounds the keys visited per query.
+    private static final GeoLevel[] GEO_LEVELS = {
+            new GeoLevel('\u0003', 0.02, 2),
+            new GeoLevel('\u0004', 0.5, 2)
+    };
+    private static final int MAX_SCAN = 2048;
+
+    private record GeoLevel(char tag, double cellDegrees, int maxRing) {
+        int latCells() {
+            return (int) (180 / cellDegrees) + 1;
+        }
+
+        int lonCells() {
+            return (int) Math.round(360 / cellDegrees);
+        }
+
+        int latCell(double latitude) {
+            return Math.min(latCells() - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellDegrees)));
+        }
+
+        int lonCell(double longitude) {
+            return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), lonCells());
+        }
+
+        String cellKey(int latCell, int lonCell) {
+            return new String(new char[]{tag, (char) latCell, (char) lonCell});
+        }
+
+        /**
+         * Lower bound on the distance from the origin to any cell of {@code ring}: such a cell is at least
+         * {@code ring - 1} whole cells away north/south or east/west, and east/west cells are narrowest at
+         * the ring's most poleward latitude.
+         */
+        double ringLowerBoundKm(int ring, double latitude) {
+            if (ring <= 1) {
+                return 0;
+            }
+            double poleward = Math.min(89.9, Math.abs(latitude) + (ring + 1) * cellDegrees);
+            return (ring - 1) * cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(poleward));
+        }
+    }
+
+    private record Snapshot(PrefixIndex base, PrefixIndex delta, int maxUsernameLength) {
+        void forEachMatch(String prefix, LongPredicate visitor) {
+            PrefixIndex.forEachMatch(base, delta, prefix, visitor);
+        }
+    }
+
+    private record Candidate(UserSummary user, double distanceKm) {
+    }
+
+    private static final Comparator<Candidate> NEAREST_FIRST = Comparator
+            .comparingDouble(Candidate::distanceKm)
+            .thenComparing(c -> c.user().getUsername());
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, UserSummary> profiles = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(PrefixIndex.empty(), PrefixIndex.empty(), 0);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<UserSummary> users = userRepository.findAllSummaries();
+        String[][] keysPerUser = new String[users.size()][];
+        Arrays.parallelSetAll(keysPerUser, i -> keysFor(users.get(i)));
+
+        int total = 0;
+        for (String[] userKeys : keysPerUser) {
+            total += userKeys.length;
+        }
+        String[] keys = new String[total];
+        long[] ids = new long[total];
+        int offset = 0;
+        int maxUsernameLength = 0;
+        for (int i = 0; i < keysPerUser.length; i++) {
+            UserSummary user = users.get(i);
+            for (String key : keysPerUser[i]) {
+                keys[offset] = key;
+                ids[offset++] = user.getId();
+            }
+            profiles.put(user.getId(), user);
+            idsByUsername.put(user.getUsername(), user.getId());
+            maxUsernameLength = Math.max(maxUsernameLength, foldedLength(user.getUsername()));
+        }
+        snapshot = new Snapshot(PrefixIndex.build(keys, ids), PrefixIndex.empty(), maxUsernameLength);
+        log.info("User suggestion index built with {} keys for {} users", total, users.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        add(event.user());
+    }
+
+    public synchronized void add(User user) {
+        UserSummary summary = new UserSummary(
+                user.getId(), user.getUsername(), user.getFullName(), user.getLatitude(), user.getLongitude());
+        profiles.put(user.getId(), summary);
+        idsByUsername.put(user.getUsername(), user.getId());
+        Snapshot current = snapshot;
+        PrefixIndex delta = current.delta().with(keysFor(summary), user.getId());
+        int maxUsernameLength = Math.max(current.maxUsernameLength(), foldedLength(user.getUsername()));
+        snapshot = delta.size() >= DELTA_MERGE_THRESHOLD
+                ? new Snapshot(current.base().merge(delta), PrefixIndex.empty(), maxUsernameLength)
+                : new Snapshot(current.base(), delta, maxUsernameLength);
+    }
+
+    /**
+     * Suggests users matching {@code query}, excluding the caller. When the caller has a saved location,
+     * results are ranked by distance from it; client-supplied coordinates are deliberately not accepted,
+     * and distances are returned only as {@link GeoUtil#coarseDistanceKm coarse buckets}.
+     */
+    public List<UserSuggestion> suggest(String query, int limit, String caller) {
+        String prefix = TextNormalizer.fold(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Long callerId = caller != null ? idsByUsername.get(caller) : null;
+        UserSummary origin = callerId != null ? profiles.get(callerId) : null;
+        boolean hasOrigin = origin != null && origin.getLatitude() != null && origin.getLongitude() != null;
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        Snapshot current = snapshot;
+        LongHashSet seen = new LongHashSet(size * 4);
+        if (callerId != null) {
+            seen.add(callerId);
+        }
+        List<UserSuggestion> results = new ArrayList<>(size);
+        if (hasOrigin) {
+            for (Candidate nearby : nearest(current, prefix, origin, callerId, size)) {
+                seen.add(nearby.user().getId());
+                results.add(toSuggestion(nearby.user(), origin));
+            }
+        }
+        if (results.size() < size) {
+            byName(current, prefix, size - results.size(), seen, user ->
+                    results.add(toSuggestion(user, hasOrigin ? origin : null)));
+        }
+        return results;
+    }
+
+    /**
+     * Walks grid rings around the origin, fine level first, keeping the {@code size} nearest matches in a
+     * max-heap, and stops as soon as no cell in the next ring can be closer than the current worst hit.
+     */
+    private List<Candidate> nearest(Snapshot current, String prefix, UserSummary origin, long callerId, int size) {
+        double latitude = origin.getLatitude();
+        double longitude = origin.getLongitude();
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(size + 1, NEAREST_FIRST.reversed());
+        LongHashSet visited = new LongHashSet(size * 4);
+        visited.add(callerId);
+        int[] scanned = new int[1];
+        LongPredicate visitor = id -> {
+            scanned[0]++;
+            UserSummary user = visited.add(id) ? profiles.get(id) : null;
+            if (user != null && user.getLatitude() != null && user.getLongitude() != null) {
+                double distance = GeoUtil.approxDistanceKm(latitude, longitude, user.getLatitude(), user.getLongitude());
+                if (heap.size() < size) {
+                    heap.add(new Candidate(user, distance));
+                } else if (distance <= heap.peek().distanceKm()) {
+                    Candidate candidate = new Candidate(user, distance);
+                    if (NEAREST_FIRST.compare(candidate, heap.peek()) < 0) {
+                        heap.poll();
+                        heap.add(candidate);
+                    }
+                }
+            }
+            return scanned[0] < MAX_SCAN;
+        };
+
+        for (GeoLevel level : GEO_LEVELS) {
+            int originLat = level.latCell(latitude);
+            int originLon = level.lonCell(longitude);
+            for (int ring = 0; ring <= level.maxRing() + 1 && scanned[0] < MAX_SCAN; ring++) {
+                if (heap.size() == size && heap.peek().distanceKm() <= level.ringLowerBoundKm(ring, latitude)) {
+                    return sorted(heap);
+                }
+                if (ring > level.maxRing()) {
+                    break;
+                }
+                for (int dLat = -ring; dLat <= ring; dLat++) {
+                    int lat = originLat + dLat;
+                    if (lat < 0 || lat >= level.latCells()) {
+                        continue;
+                    }
+                    // Top and bottom rows of the ring are full; the rows in between only contribute their ends.
+                    int step = Math.abs(dLat) == ring ? 1 : 2 * ring;
+                    for (int dLon = -ring; dLon <= ring && scanned[0] < MAX_SCAN; dLon += step) {
+                        int lon = Math.floorMod(originLon + dLon, level.lonCells());
+                        current.forEachMatch(level.cellKey(lat, lon) + prefix, visitor);
+                    }
+                }
+            }
+        }
+        return sorted(heap);
+    }
+
+    private static List<Candidate> sorted(PriorityQueue<Candidate> heap) {
+        List<Candidate> found = new ArrayList<>(heap);
+        found.sort(NEAREST_FIRST);
+        return found;
+    }
+
+    /** Username-prefix matches first, then name matches; each by username length, then key order. */
+    private void byName(Snapshot current, String prefix, int wanted, LongHashSet seen,
+                        Consumer<UserSummary> sink) {
+        int[] remaining = {wanted};
+        LongPredicate visitor = id -> {
+            UserSummary user = profiles.get(id);
+            if (user != null && seen.add(id)) {
+                sink.accept(user);
+                remaining[0]--;
+            }
+            return remaining[0] > 0;
+        };
+        for (char family : new char[]{USERNAME, NAME}) {
+            int minLength = family == USERNAME ? prefix.length() : 1;
+            for (int length = minLength; length <= current.maxUsernameLength() && remaining[0] > 0; length++) {
+                current.forEachMatch(rankedKey(family, length, prefix), visitor);
+            }
+        }
+    }
+
+    private static UserSuggestion toSuggestion(UserSummary user, UserSummary origin) {
+        Double distance = origin != null && user.getLatitude() != null && user.getLongitude() != null
+                ? GeoUtil.coarseDistanceKm(GeoUtil.distanceKm(
+                        origin.getLatitude(), origin.getLongitude(), user.getLatitude(), user.getLongitude()))
+                : null;
+        return new UserSuggestion(user.getUsername(), user.getFullName(), distance);
+    }
+
+    private static String[] keysFor(UserSummary user) {
+        String username = TextNormalizer.fold(user.getUsername());
+        int length = username.length();
+        Set<String> names = new LinkedHashSet<>();
+        String name = TextNormalizer.fold(user.getFullName());
+        if (!name.isEmpty()) {
+            names.add(name);
+            names.addAll(Arrays.asList(name.split("\\s+")));
+        }
+        // The grid only needs the username and single tokens; multi-word queries fall back to name order.
+        Set<String> geoKeys = new LinkedHashSet<>();
+        geoKeys.add(username);
+        geoKeys.addAll(Arrays.asList(name.split("\\s+")));
+        geoKeys.remove("");
+
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(rankedKey(USERNAME, length, username));
+        for (String key : names) {
+            keys.add(rankedKey(NAME, length, key));
+        }
+        if (user.getLatitude() != null && user.getLongitude() != null) {
+            for (GeoLevel level : GEO_LEVELS) {
+                String cell = level.cellKey(level.latCell(user.getLatitude()), level.lonCell(user.getLongitude()));
+                for (String key : geoKeys) {
+                    keys.add(cell + key);
+                }
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    private static String rankedKey(char family, int usernameLength, String text) {
+        return new StringBuilder(text.length() + 2)
+                .append(family)
+                .append((char) Math.min(usernameLength, Character.MAX_VALUE))
+                .append(text)
+                .toString();
+    }
+
+    private static int foldedLength(String username) {
+        return TextNormalizer.fold(username).length();
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookx.bookx_backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Preallocated multi-producer / single-consumer ring of audit records, stored as parallel arrays so
+ * publishing never allocates. Producers claim a sequence with a CAS and publish the slot by writing
+ * its sequence; the consumer only reads slots whose published sequence matches the one it expects.
+ */
+public final class AuditRingBuffer {
+
+    @FunctionalInterface
+    public interface Handler {
+        void onEvent(int type, long timestamp, String principal, String source);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int[] types;
+    private final long[] timestamps;
+    private final String[] principals;
+    private final String[] sources;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    public AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.types = new int[capacity];
+        this.timestamps = new long[capacity];
+        this.principals = new String[capacity];
+        this.sources = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /** Returns false without blocking when the ring is full. */
+    public boolean tryPublish(int type, long timestamp, String principal, String source) {
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed >= capacity) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+
+        int index = (int) seq & mask;
+        types[index] = type;
+        timestamps[index] = timestamp;
+        principals[index] = principal;
+        sources[index] = source;
+        published.set(index, seq);
+        return true;
+    }
+
+    /** Hands up to {@code max} published records to the handler in order. Single consumer only. */
+    public int drain(int max, Handler handler) {
+        long next = consumed;
+        int count = 0;
+        while (count < max) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                break;
+            }
+            handler.onEvent(types[index], timestamps[index], principals[index], sources[index]);
+            principals[index] = null;
+            sources[index] = null;
+            next++;
+            count++;
+        }
+        consumed = next;
+        return count;
+    }
+
+    public long size() {
+        return Math.max(0, claimed.get() - consumed);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
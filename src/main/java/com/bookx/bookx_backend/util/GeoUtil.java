@@ -0,0 +1,43 @@
+package com.bookx.bookx_backend.util;
+
+public final class GeoUtil {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double[] DISTANCE_BUCKETS_KM = {1, 5, 10, 25, 50, 100};
+
+    private GeoUtil() {
+    }
+
+    /** Great-circle (haversine) distance in kilometres. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Equirectangular approximation of {@link #distanceKm}: one cosine instead of the haversine's trig,
+     * and within a fraction of a percent at the few-hundred-kilometre range it is used for ranking.
+     */
+    public static double approxDistanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLon = Math.IEEEremainder(lon2 - lon1, 360);
+        double x = Math.toRadians(dLon) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = Math.toRadians(lat2 - lat1);
+        return EARTH_RADIUS_KM * Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Rounds a distance up to a coarse bucket (1, 5, 10, 25, 50, 100 km, then whole hundreds) so that
+     * distances shown to other users cannot be combined to triangulate where someone lives.
+     */
+    public static double coarseDistanceKm(double distanceKm) {
+        for (double bucket : DISTANCE_BUCKETS_KM) {
+            if (distanceKm <= bucket) {
+                return bucket;
+            }
+        }
+        return Math.ceil(distanceKm / 100) * 100;
+    }
+}
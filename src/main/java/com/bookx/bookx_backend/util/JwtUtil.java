@@ -13,7 +13,7 @@ import java.util.Date;
 @Component
 public class JwtUtil {
     private SecretKey key;
-    private final long EXPIRATION_MS = 1000 * 60 * 60;
+    public static final long EXPIRATION_MS = 1000 * 60 * 60;
 
     @PostConstruct
     public void init() {
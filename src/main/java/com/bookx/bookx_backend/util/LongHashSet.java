@@ -0,0 +1,67 @@
+package com.bookx.bookx_backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing set of primitive longs for per-request deduplication, avoiding the boxing
+ * and entry objects of a {@code HashSet<Long>}.
+ */
+public final class LongHashSet {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots;
+    private int size;
+    private boolean containsEmptyMarker;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /** Returns true if the value was not already present. */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !containsEmptyMarker;
+            containsEmptyMarker = true;
+            return added;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            grow();
+        }
+        if (!insert(slots, value)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    private static boolean insert(long[] table, long value) {
+        int mask = table.length - 1;
+        int i = (int) mix(value) & mask;
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        return true;
+    }
+
+    private void grow() {
+        long[] bigger = new long[slots.length << 1];
+        Arrays.fill(bigger, EMPTY);
+        for (long value : slots) {
+            if (value != EMPTY) {
+                insert(bigger, value);
+            }
+        }
+        slots = bigger;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,121 @@
+package com.bookx.bookx_backend.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable prefix index: keys kept in one sorted array with a parallel array of primitive ids, so a
+ * lookup is a binary search plus a sequential scan. Updates return a new index, which lets readers
+ * use whatever instance they last saw without any locking.
+ */
+public final class PrefixIndex {
+    private static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new long[0]);
+
+    private final String[] keys;
+    private final long[] ids;
+
+    private PrefixIndex(String[] keys, long[] ids) {
+        this.keys = keys;
+        this.ids = ids;
+    }
+
+    public static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    public static PrefixIndex build(String[] keys, long[] ids) {
+        if (keys.length != ids.length) {
+            throw new IllegalArgumentException("keys and ids must have the same length");
+        }
+        Integer[] order = new Integer[keys.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.parallelSort(order, Comparator.comparing((Integer i) -> keys[i]).thenComparingLong(i -> ids[i]));
+
+        String[] sortedKeys = new String[keys.length];
+        long[] sortedIds = new long[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys[order[i]];
+            sortedIds[i] = ids[order[i]];
+        }
+        return new PrefixIndex(sortedKeys, sortedIds);
+    }
+
+    public PrefixIndex with(String[] newKeys, long id) {
+        String[] toInsert = newKeys.clone();
+        Arrays.sort(toInsert);
+        long[] newIds = new long[toInsert.length];
+        Arrays.fill(newIds, id);
+        return merge(new PrefixIndex(toInsert, newIds));
+    }
+
+    /** Linear merge of two sorted indexes. */
+    public PrefixIndex merge(PrefixIndex other) {
+        String[] mergedKeys = new String[keys.length + other.keys.length];
+        long[] mergedIds = new long[mergedKeys.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i].compareTo(other.keys[j]) <= 0)) {
+                mergedKeys[k] = keys[i];
+                mergedIds[k++] = ids[i++];
+            } else {
+                mergedKeys[k] = other.keys[j];
+                mergedIds[k++] = other.ids[j++];
+            }
+        }
+        return new PrefixIndex(mergedKeys, mergedIds);
+    }
+
+    /**
+     * Visits the id of every key starting with {@code prefix}, in key order, until the visitor
+     * returns false. An id is visited once per matching key, so it may repeat.
+     */
+    public void forEachMatch(String prefix, LongPredicate visitor) {
+        forEachMatch(this, EMPTY, prefix, visitor);
+    }
+
+    /**
+     * Like {@link #forEachMatch(String, LongPredicate)} over the union of two indexes, walking both
+     * matching ranges together so ids are still visited in key order.
+     */
+    public static void forEachMatch(PrefixIndex first, PrefixIndex second, String prefix, LongPredicate visitor) {
+        int i = first.lowerBound(prefix);
+        int j = second.lowerBound(prefix);
+        while (true) {
+            boolean firstMatches = i < first.keys.length && first.keys[i].startsWith(prefix);
+            boolean secondMatches = j < second.keys.length && second.keys[j].startsWith(prefix);
+            if (!firstMatches && !secondMatches) {
+                return;
+            }
+            long id;
+            if (!secondMatches || (firstMatches && first.keys[i].compareTo(second.keys[j]) <= 0)) {
+                id = first.ids[i++];
+            } else {
+                id = second.ids[j++];
+            }
+            if (!visitor.test(id)) {
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
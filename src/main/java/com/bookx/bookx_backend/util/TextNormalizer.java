@@ -0,0 +1,39 @@
+package com.bookx.bookx_backend.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    // Letters that utf8mb4_0900_ai_ci treats as equal to a base-letter spelling but that have no
+    // Unicode decomposition, so NFKD alone leaves them alone.
+    private static final String[][] EXPANSIONS = {
+            {"ß", "ss"}, {"ẞ", "ss"}, {"æ", "ae"}, {"Æ", "ae"}, {"œ", "oe"}, {"Œ", "oe"},
+            {"ø", "o"}, {"Ø", "o"}, {"đ", "d"}, {"Đ", "d"}, {"ð", "d"}, {"Ð", "d"},
+            {"ł", "l"}, {"Ł", "l"}, {"þ", "th"}, {"Þ", "th"}, {"ı", "i"}
+    };
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Case-, accent- and compatibility-folds the value, plus the common letter expansions ("ß" → "ss",
+     * "æ" → "ae"), so that most strings the database collation treats as equal ("José", "jose")
+     * map to the same key. This approximates the collation rather than reproducing it, so callers
+     * must still treat the database as authoritative.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFKD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        for (String[] expansion : EXPANSIONS) {
+            if (folded.contains(expansion[0])) {
+                folded = folded.replace(expansion[0], expansion[1]);
+            }
+        }
+        return folded.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package com.bookx.bookx_backend.config;
+
+import com.bookx.bookx_backend.dto.UserDto;
+import com.bookx.bookx_backend.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes and CPU per serialized response, raw and gzipped.
+ * Opt-in: {@code ./mvnw test -Dtest=SerializationBenchmarkTest -Dbookx.bench=true}.
+ */
+@EnabledIfSystemProperty(named = "bookx.bench", matches = "true")
+class SerializationBenchmarkTest {
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void measureSerializationAndCompression() throws IOException {
+        User user = User.builder().id(42L).username("reader42").email("reader42@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuv").fullName("Avid Reader")
+                .latitude(12.9716).longitude(77.5946).profileImageUrl("https://cdn.example.com/p/42.jpg")
+                .registeredAt(Instant.parse("2026-01-01T00:00:00Z")).build();
+        UserDto dto = new UserDto("reader42", "reader42@example.com", "secret", "Avid Reader",
+                12.9716, 77.5946, "https://cdn.example.com/p/42.jpg");
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        for (Object payload : new Object[]{user, dto}) {
+            ObjectWriter writer = mapper.writerFor(payload.getClass());
+            byte[] json = writer.writeValueAsBytes(payload);
+            System.out.printf("%s: %d bytes raw, %d bytes gzip%n",
+                    payload.getClass().getSimpleName(), json.length, gzip(json).length);
+            System.out.printf("  serialize: %.1f ns CPU/op%n", cpuPerOp(writer, payload));
+        }
+    }
+
+    private static double cpuPerOp(ObjectWriter writer, Object payload) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ByteArrayOutputStream sink = new ByteArrayOutputStream(512);
+        for (int i = 0; i < WARMUP; i++) {
+            sink.reset();
+            writer.writeValue(sink, payload);
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink.reset();
+            writer.writeValue(sink, payload);
+        }
+        return (double) (threads.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+}
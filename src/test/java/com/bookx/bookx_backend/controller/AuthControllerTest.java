@@ -1,22 +1,34 @@
 package com.bookx.bookx_backend.controller;
 
+import com.bookx.bookx_backend.dto.AvailabilityResponse;
 import com.bookx.bookx_backend.dto.UserDto;
 import com.bookx.bookx_backend.filter.JwtFilter;
+import com.bookx.bookx_backend.model.AuditEventType;
 import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.service.AuditService;
 import com.bookx.bookx_backend.service.AuthService;
+import com.bookx.bookx_backend.service.AvailabilityService;
+import com.bookx.bookx_backend.service.IdempotencyService;
 import com.bookx.bookx_backend.service.UserService;
 import com.bookx.bookx_backend.util.JwtUtil;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -31,6 +43,7 @@ import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAut
         }
 )
 @AutoConfigureMockMvc(addFilters = false)
+@Import(IdempotencyService.class)
 class AuthControllerTest {
 
     @Autowired
@@ -40,6 +53,10 @@ class AuthControllerTest {
     UserService userService;
     @MockBean
     AuthService authService;
+    @MockBean
+    AvailabilityService availabilityService;
+    @MockBean
+    AuditService auditService;
 
     @MockBean
     private JwtFilter jwtFilter;
@@ -92,4 +109,96 @@ class AuthControllerTest {
                         .content("{\"username\":\"u\",\"password\":\"wrong\"}"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void loginOutcomesAreAudited() throws Exception {
+        given(authService.authenticateAndGetToken(any()))
+                .willReturn("jwt-token")
+                .willThrow(new BadCredentialsException(""));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\":\"u\",\"password\":\"p\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\":\"u\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+
+        verify(auditService).record(eq(AuditEventType.LOGIN_SUCCESS), eq("u"), anyString());
+        verify(auditService).record(eq(AuditEventType.LOGIN_FAILURE), eq("u"), anyString());
+    }
+
+    @Test
+    void registerRetryWithSameKeyReplaysFirstResponse() throws Exception {
+        var saved = User.builder().id(1L).username("u").email("u@example.com").build();
+        given(userService.registerUser(any())).willReturn(saved);
+        String body = "{\"username\":\"u\",\"email\":\"u@example.com\",\"password\":\"p\"}";
+
+        mockMvc.perform(post("/api/auth/register")
+                        .header(IdempotencyService.HEADER, "retry-1")
+                        .contentType(APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/register")
+                        .header(IdempotencyService.HEADER, "retry-1")
+                        .contentType(APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(userService, times(1)).registerUser(any());
+    }
+
+    @Test
+    void reusingKeyForDifferentRequestIsRejected() throws Exception {
+        given(authService.authenticateAndGetToken(any())).willReturn("jwt-token");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .header(IdempotencyService.HEADER, "retry-2")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\":\"u\",\"password\":\"p\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .header(IdempotencyService.HEADER, "retry-2")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\":\"other\",\"password\":\"p\"}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void reusingKeyWithDifferentPasswordIsRejected() throws Exception {
+        given(authService.authenticateAndGetToken(any())).willReturn("jwt-token");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .header(IdempotencyService.HEADER, "retry-3")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\":\"u\",\"password\":\"p\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .header(IdempotencyService.HEADER, "retry-3")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\":\"u\",\"password\":\"guess\"}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void availabilityReportsBothFields() throws Exception {
+        given(availabilityService.check("u", "u@example.com"))
+                .willReturn(new AvailabilityResponse(false, true));
+
+        mockMvc.perform(get("/api/auth/availability")
+                        .param("username", "u")
+                        .param("email", "u@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(false))
+                .andExpect(jsonPath("$.emailAvailable").value(true));
+    }
+
+    @Test
+    void availabilityRequiresAParameter() throws Exception {
+        mockMvc.perform(get("/api/auth/availability"))
+                .andExpect(status().isBadRequest());
+    }
 }
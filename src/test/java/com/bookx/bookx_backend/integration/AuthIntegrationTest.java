@@ -6,7 +6,10 @@ import com.bookx.bookx_backend.dto.AuthRequest;
 import com.bookx.bookx_backend.dto.UserDto;
 import com.bookx.bookx_backend.filter.JwtFilter;
 import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.service.AuditService;
 import com.bookx.bookx_backend.service.AuthService;
+import com.bookx.bookx_backend.service.AvailabilityService;
+import com.bookx.bookx_backend.service.IdempotencyService;
 import com.bookx.bookx_backend.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,7 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         classes = JwtFilter.class
     )
 )
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, IdempotencyService.class})
 @ActiveProfiles("test")
 public class AuthIntegrationTest {
 
@@ -56,6 +59,12 @@ public class AuthIntegrationTest {
     @MockBean
     private AuthService authService;
 
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @MockBean
+    private AuditService auditService;
+
     @MockBean
     private UserDetailsService userDetailsService;
 
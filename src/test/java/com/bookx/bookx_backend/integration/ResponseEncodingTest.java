@@ -0,0 +1,57 @@
+package com.bookx.bookx_backend.integration;
+
+import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.service.UserService;
+import com.bookx.bookx_backend.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:encoding;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+        }
+)
+class ResponseEncodingTest {
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @MockBean
+    JwtUtil jwtUtil;
+
+    @MockBean
+    UserService userService;
+
+    @Test
+    void largeJsonResponsesAreGzipped() {
+        User saved = User.builder().id(1L).username("u").email("u@example.com")
+                .fullName("x".repeat(2048)).build();
+        given(userService.registerUser(any())).willReturn(saved);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> response = rest.postForEntity("/api/auth/register",
+                new HttpEntity<>("{\"username\":\"u\",\"email\":\"u@example.com\",\"password\":\"p\"}", headers),
+                byte[].class);
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getBody().length).isLessThan(1024);
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+@Import({ActivityTracker.class, ActivityTrackerTest.Metrics.class})
+class ActivityTrackerTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    UserRepository userRepo;
+    @Autowired
+    ActivityTracker tracker;
+    @Autowired
+    JdbcTemplate jdbc;
+    @Autowired
+    MeterRegistry meters;
+
+    @Test
+    void coalescesTouchesIntoOneRowUpdate() {
+        userRepo.saveAndFlush(User.builder().username("u").email("e").passwordHash("h")
+                .registeredAt(Instant.now()).build());
+
+        tracker.touch("u");
+        tracker.touch("u");
+        tracker.touch("u");
+        tracker.flush();
+
+        assertThat(jdbc.queryForObject("select activity_count from users where username = 'u'", Long.class))
+                .isEqualTo(3L);
+        assertThat(jdbc.queryForObject("select last_seen_at from users where username = 'u'", Timestamp.class))
+                .isNotNull();
+        assertThat(meters.get("bookx.activity.rows.flushed").counter().count()).isEqualTo(1.0);
+        assertThat(meters.get("bookx.activity.coalescing.ratio").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void laterFlushesAccumulate() {
+        userRepo.saveAndFlush(User.builder().username("u2").email("e2").passwordHash("h")
+                .registeredAt(Instant.now()).build());
+
+        tracker.touch("u2");
+        tracker.flush();
+        tracker.touch("u2");
+        tracker.flush();
+
+        assertThat(jdbc.queryForObject("select activity_count from users where username = 'u2'", Long.class))
+                .isEqualTo(2L);
+    }
+}
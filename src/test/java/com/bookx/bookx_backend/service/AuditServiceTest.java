@@ -0,0 +1,108 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.model.AuditEventType;
+import com.bookx.bookx_backend.repository.AuditEventRepository;
+import com.bookx.bookx_backend.service.AuditService.BackpressurePolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The writer thread commits on its own connection, so the test must not hold a rolled-back transaction.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditServiceTest {
+
+    @Autowired
+    JdbcTemplate jdbc;
+    @Autowired
+    AuditEventRepository auditRepo;
+
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @AfterEach
+    void cleanup() {
+        jdbc.update("delete from audit_events");
+    }
+
+    @Test
+    void publishedEventsAreWrittenAndFlushedOnStop() throws Exception {
+        AuditService audit = newService(64, 8, BackpressurePolicy.DROP, 5);
+        audit.start();
+
+        for (int i = 0; i < 20; i++) {
+            audit.record(AuditEventType.LOGIN_SUCCESS, "alice", "10.0.0." + i);
+        }
+        audit.record(AuditEventType.LOGIN_FAILURE, "bob", "10.0.0.99");
+        audit.stop();
+
+        assertThat(jdbc.queryForObject("select count(*) from audit_events where principal = 'alice'", Long.class))
+                .isEqualTo(20L);
+        assertThat(jdbc.queryForObject("select event_type from audit_events where principal = 'bob'", String.class))
+                .isEqualTo("LOGIN_FAILURE");
+        assertThat(outcome("published")).isEqualTo(21.0);
+        assertThat(outcome("written")).isEqualTo(21.0);
+        assertThat(audit.findRecent("alice", null, 5)).hasSize(5);
+    }
+
+    @Test
+    void dropsWhenRingIsFullAndWritesTheRestOnStop() throws Exception {
+        AuditService audit = newService(4, 8, BackpressurePolicy.DROP, 5);
+
+        // Writer not started yet, so nothing drains the ring.
+        for (int i = 0; i < 6; i++) {
+            audit.record(AuditEventType.TOKEN_REJECTED, "mallory", null);
+        }
+        assertThat(outcome("published")).isEqualTo(4.0);
+        assertThat(outcome("dropped")).isEqualTo(2.0);
+
+        audit.start();
+        audit.stop();
+
+        assertThat(jdbc.queryForObject("select count(*) from audit_events", Long.class)).isEqualTo(4L);
+    }
+
+    @Test
+    void blockPolicyWaitsForTheTimeoutBeforeDropping() {
+        AuditService audit = newService(2, 8, BackpressurePolicy.BLOCK, 50);
+        audit.record(AuditEventType.REGISTRATION, "a", null);
+        audit.record(AuditEventType.REGISTRATION, "b", null);
+
+        long started = System.nanoTime();
+        audit.record(AuditEventType.REGISTRATION, "c", null);
+        long waitedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(waitedMs).isGreaterThanOrEqualTo(50);
+        assertThat(outcome("dropped")).isEqualTo(1.0);
+    }
+
+    @Test
+    void idleWriterIsWokenByTheNextEvent() throws Exception {
+        AuditService audit = newService(64, 8, BackpressurePolicy.DROP, 5);
+        audit.start();
+        Thread.sleep(50);
+
+        audit.record(AuditEventType.LOGIN_SUCCESS, "late", null);
+
+        long deadline = System.currentTimeMillis() + 500;
+        while (outcome("written") < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(outcome("written")).isEqualTo(1.0);
+        audit.stop();
+    }
+
+    private AuditService newService(int capacity, int batchSize, BackpressurePolicy policy, long blockTimeoutMs) {
+        return new AuditService(jdbc, auditRepo, meters, capacity, batchSize, policy, blockTimeoutMs);
+    }
+
+    private double outcome(String outcome) {
+        return meters.get("bookx.audit.events").tag("outcome", outcome).counter().count();
+    }
+}
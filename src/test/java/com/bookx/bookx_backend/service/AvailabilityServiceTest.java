@@ -0,0 +1,93 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.dto.AvailabilityResponse;
+import com.bookx.bookx_backend.event.UserRegisteredEvent;
+import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AvailabilityServiceTest {
+
+    UserRepository userRepo;
+    SimpleMeterRegistry meters;
+    AvailabilityService availability;
+
+    @BeforeEach
+    void setup() {
+        userRepo = mock(UserRepository.class);
+        meters = new SimpleMeterRegistry();
+        given(userRepo.findAllUsernames()).willReturn(List.of("alice"));
+        given(userRepo.findAllEmails()).willReturn(List.of("alice@example.com"));
+        availability = new AvailabilityService(userRepo, meters, 1_000, 0.01);
+    }
+
+    @Test
+    void unseenNameIsAnsweredWithoutTheDatabase() {
+        availability.rebuild();
+
+        AvailabilityResponse response = availability.check("bob", "bob@example.com");
+
+        assertThat(response.getUsernameAvailable()).isTrue();
+        assertThat(response.getEmailAvailable()).isTrue();
+        verify(userRepo, never()).existsByUsername(anyString());
+        verify(userRepo, never()).existsByEmail(anyString());
+        assertThat(checks("definite_negative")).isEqualTo(2.0);
+    }
+
+    @Test
+    void seededNameFallsThroughToTheExistsQuery() {
+        availability.rebuild();
+        given(userRepo.existsByUsername("alice")).willReturn(true);
+
+        assertThat(availability.check("alice", null).getUsernameAvailable()).isFalse();
+
+        verify(userRepo).existsByUsername("alice");
+        assertThat(checks("true_positive")).isEqualTo(1.0);
+    }
+
+    @Test
+    void registrationAddsTheNameToTheFilter() {
+        availability.rebuild();
+        availability.onUserRegistered(new UserRegisteredEvent(
+                User.builder().username("carol").email("carol@example.com").build()));
+        given(userRepo.existsByUsername("carol")).willReturn(true);
+
+        assertThat(availability.check("carol", null).getUsernameAvailable()).isFalse();
+
+        verify(userRepo).existsByUsername("carol");
+    }
+
+    @Test
+    void beforeRebuildCompletesEveryCheckHitsTheDatabase() {
+        assertThat(availability.check("bob", null).getUsernameAvailable()).isTrue();
+        verify(userRepo).existsByUsername("bob");
+
+        // A check racing the initial load must not trust the half-filled filter.
+        AtomicReference<Boolean> duringLoad = new AtomicReference<>();
+        given(userRepo.findAllUsernames()).willAnswer(inv -> {
+            duringLoad.set(availability.check("dave", null).getUsernameAvailable());
+            return List.of("alice");
+        });
+        availability.rebuild();
+
+        assertThat(duringLoad.get()).isTrue();
+        verify(userRepo).existsByUsername("dave");
+        assertThat(checks("definite_negative")).isZero();
+    }
+
+    private double checks(String result) {
+        return meters.get("bookx.availability.checks").tag("result", result).counter().count();
+    }
+}
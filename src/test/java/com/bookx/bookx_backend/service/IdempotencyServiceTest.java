@@ -0,0 +1,128 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.dto.AuthRequest;
+import com.bookx.bookx_backend.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    AtomicLong now = new AtomicLong(1_000_000);
+    IdempotencyService idempotency = new IdempotencyService(3600, 60, 100, new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    });
+
+    @Test
+    void concurrentDuplicatesShareOneComputation() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] results = new Future<?>[4];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = pool.submit(() -> idempotency.execute("k", "register", "same", () -> {
+                    calls.incrementAndGet();
+                    awaitQuietly(release);
+                    return ResponseEntity.ok("done");
+                }));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> result : results) {
+                assertThat(((ResponseEntity<?>) result.get(5, TimeUnit.SECONDS)).getBody()).isEqualTo("done");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresAreNotStored() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> idempotency.execute("k", "login", "same", () -> {
+                calls.incrementAndGet();
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+            })).isInstanceOf(ResponseStatusException.class);
+        }
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void loginReplayNeverOutlivesTheLoginTtl() {
+        AtomicInteger tokens = new AtomicInteger();
+        Supplier<ResponseEntity<String>> login = () -> ResponseEntity.ok("token-" + tokens.incrementAndGet());
+
+        assertThat(idempotency.execute("k", IdempotencyService.LOGIN_SCOPE, "same", login).getBody()).isEqualTo("token-1");
+        now.addAndGet(59_999);
+        assertThat(idempotency.execute("k", IdempotencyService.LOGIN_SCOPE, "same", login).getBody()).isEqualTo("token-1");
+        now.addAndGet(1);
+        assertThat(idempotency.execute("k", IdempotencyService.LOGIN_SCOPE, "same", login).getBody()).isEqualTo("token-2");
+
+        // Other scopes keep the longer TTL.
+        idempotency.execute("k", IdempotencyService.REGISTER_SCOPE, "same", login);
+        now.addAndGet(120_000);
+        assertThat(idempotency.execute("k", IdempotencyService.REGISTER_SCOPE, "same", login).getBody()).isEqualTo("token-3");
+    }
+
+    @Test
+    void loginTtlMustStayWellUnderTokenLifetime() {
+        long tokenLifetimeSeconds = TimeUnit.MILLISECONDS.toSeconds(JwtUtil.EXPIRATION_MS);
+
+        assertThatThrownBy(() -> new IdempotencyService(86400, tokenLifetimeSeconds, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fingerprintCoversEveryDtoField() {
+        idempotency.execute("k", IdempotencyService.LOGIN_SCOPE, new AuthRequest("u", "p"), () -> ResponseEntity.ok("t"));
+
+        assertThatThrownBy(() -> idempotency.execute("k", IdempotencyService.LOGIN_SCOPE, new AuthRequest("u", "other"),
+                () -> ResponseEntity.ok("t")))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
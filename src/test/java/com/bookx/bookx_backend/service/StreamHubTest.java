@@ -0,0 +1,165 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class StreamHubTest {
+
+    SimpleMeterRegistry meters;
+    StreamHub hub;
+
+    @BeforeEach
+    void setup() {
+        meters = new SimpleMeterRegistry();
+        hub = new StreamHub(mock(UserRepository.class), meters, 8, 60_000, 4, 3600, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void fansOutToTensOfThousandsOfSimulatedConnections() throws Exception {
+        int connections = 20_000;
+        CountDownLatch nearbyDelivered = new CountDownLatch(connections / 2);
+        List<CountingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            CountingEmitter emitter = new CountingEmitter(nearbyDelivered);
+            emitters.add(emitter);
+            // Half the users sit in Bengaluru, half in Delhi.
+            boolean near = i % 2 == 0;
+            hub.register("user" + i, near ? 12.97 : 28.61, near ? 77.59 : 77.20, emitter);
+        }
+
+        hub.publishNearby(12.97, 77.59, 25, "nobody", "nearby-trader", distance -> distance);
+
+        assertThat(nearbyDelivered.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(hub.connectionCount()).isEqualTo(connections);
+        assertThat(meters.get("bookx.stream.connections").gauge().value()).isEqualTo(connections);
+        assertThat(meters.get("bookx.stream.delivery.latency").timer().count()).isGreaterThanOrEqualTo(connections / 2);
+    }
+
+    @Test
+    void nearbyFanOutRunsOffTheCallingThread() throws Exception {
+        hub.register("near", 12.97, 77.59, new CountingEmitter(new CountDownLatch(1)));
+        CountDownLatch built = new CountDownLatch(1);
+        AtomicReference<Thread> builder = new AtomicReference<>();
+
+        hub.publishNearby(12.97, 77.59, 25, "nobody", "nearby-trader", distance -> {
+            builder.set(Thread.currentThread());
+            built.countDown();
+            return distance;
+        });
+
+        assertThat(built.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(builder.get()).isNotSameAs(Thread.currentThread());
+        assertThat(builder.get().getName()).startsWith("stream-dispatch-");
+    }
+
+    @Test
+    void deliversDirectMessagesToEveryConnectionOfTheUser() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(2);
+        hub.register("alice", null, null, new CountingEmitter(delivered));
+        hub.register("alice", null, null, new CountingEmitter(delivered));
+        hub.register("bob", null, null, new CountingEmitter(new CountDownLatch(1)));
+
+        hub.sendTo("alice", "trade-message", "hi");
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void evictsSlowConsumerWhenItsQueueOverflows() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEmitter slow = new BlockingEmitter(release);
+        hub.register("slow", null, null, slow);
+        assertThat(slow.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 20; i++) {
+            hub.sendTo("slow", "trade-message", i);
+        }
+        release.countDown();
+
+        assertThat(hub.connectionCount()).isZero();
+        assertThat(meters.get("bookx.stream.evicted").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void stalledClientCannotHoldTheOnlyDispatcher() throws Exception {
+        hub.shutdown();
+        meters = new SimpleMeterRegistry();
+        hub = new StreamHub(mock(UserRepository.class), meters, 8, 60_000, 1, 3600, 200);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            BlockingEmitter stalled = new BlockingEmitter(release);
+            hub.register("stalled", null, null, stalled);
+            assertThat(stalled.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CountDownLatch delivered = new CountDownLatch(10);
+            hub.register("healthy", null, null, new CountingEmitter(delivered));
+            for (int i = 0; i < 10; i++) {
+                hub.sendTo("healthy", "trade-message", i);
+                Thread.sleep(50);
+            }
+
+            // Well inside the stalled write's 5 s block: the send deadline freed the dispatcher, and the
+            // healthy queue (capacity 8) absorbed what arrived during the 200 ms stall without eviction.
+            assertThat(delivered.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(hub.connectionCount()).isEqualTo(1);
+            assertThat(meters.get("bookx.stream.send.timeouts").counter().count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    static class CountingEmitter extends SseEmitter {
+        private final CountDownLatch nonConnectEvents;
+        private final AtomicInteger sends = new AtomicInteger();
+
+        CountingEmitter(CountDownLatch nonConnectEvents) {
+            this.nonConnectEvents = nonConnectEvents;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            // The first event on every connection is the "connected" greeting.
+            if (sends.incrementAndGet() > 1) {
+                nonConnectEvents.countDown();
+            }
+        }
+    }
+
+    static class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        BlockingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
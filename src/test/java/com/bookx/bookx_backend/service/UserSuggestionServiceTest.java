@@ -0,0 +1,137 @@
+package com.bookx.bookx_backend.service;
+
+import com.bookx.bookx_backend.dto.UserSuggestion;
+import com.bookx.bookx_backend.dto.UserSummary;
+import com.bookx.bookx_backend.model.User;
+import com.bookx.bookx_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class UserSuggestionServiceTest {
+
+    UserRepository userRepo;
+    UserSuggestionService suggestions;
+
+    @BeforeEach
+    void setup() {
+        userRepo = mock(UserRepository.class);
+        given(userRepo.findAllSummaries()).willReturn(List.of(
+                new UserSummary(1L, "alice", "Alice Smith", 12.97, 77.59),
+                new UserSummary(2L, "alicia", "Alicia Keys", 28.61, 77.20),
+                new UserSummary(3L, "bob", "Robert Allen", null, null),
+                new UserSummary(4L, "delhi_reader", "Delhi Reader", 28.60, 77.21)
+        ));
+        suggestions = new UserSuggestionService(userRepo);
+        suggestions.rebuild();
+    }
+
+    @Test
+    void matchesUsernameAndNameTokens() {
+        List<UserSuggestion> result = suggestions.suggest("al", 10, null);
+
+        assertThat(result).extracting(UserSuggestion::getUsername)
+                .containsExactly("alice", "alicia", "bob");
+    }
+
+    @Test
+    void ranksByDistanceFromTheCallersSavedLocation() {
+        List<UserSuggestion> result = suggestions.suggest("ali", 10, "delhi_reader");
+
+        assertThat(result).extracting(UserSuggestion::getUsername)
+                .containsExactly("alicia", "alice");
+        assertThat(result.get(0).getDistanceKm()).isEqualTo(5.0);
+    }
+
+    @Test
+    void distancesAreTooCoarseToLocateAnyone() {
+        // Two targets 300 m and 4.5 km from the caller, and a third moved ~1.5 km within its bucket.
+        suggestions.add(User.builder().id(10L).username("zed_near").latitude(28.603).longitude(77.21).build());
+        suggestions.add(User.builder().id(11L).username("zed_far").latitude(28.60).longitude(77.256).build());
+        List<UserSuggestion> before = suggestions.suggest("zed", 10, "delhi_reader");
+        suggestions.add(User.builder().id(11L).username("zed_far").latitude(28.60).longitude(77.241).build());
+        List<UserSuggestion> after = suggestions.suggest("zed", 10, "delhi_reader");
+
+        assertThat(before).extracting(UserSuggestion::getDistanceKm).containsExactly(1.0, 5.0);
+        assertThat(after).extracting(UserSuggestion::getDistanceKm).containsExactly(1.0, 5.0);
+    }
+
+    @Test
+    void callersWithoutLocationGetNameOrderingAndNoDistances() {
+        List<UserSuggestion> result = suggestions.suggest("ali", 10, "bob");
+
+        assertThat(result).extracting(UserSuggestion::getUsername).containsExactly("alice", "alicia");
+        assertThat(result).extracting(UserSuggestion::getDistanceKm).containsOnlyNulls();
+    }
+
+    @Test
+    void excludesCallerAndIndexesNewRegistrations() {
+        suggestions.add(User.builder().id(5L).username("alfred").fullName("Alfred Ténor").build());
+
+        assertThat(suggestions.suggest("TEN", 10, null))
+                .extracting(UserSuggestion::getUsername).containsExactly("alfred");
+        assertThat(suggestions.suggest("al", 10, "alice"))
+                .extracting(UserSuggestion::getUsername).doesNotContain("alice");
+    }
+
+    @Test
+    void findsNearestMatchBeyondTheAlphabeticalCandidateSlice() {
+        List<UserSummary> crowd = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            crowd.add(new UserSummary((long) i, String.format("ann%03d", i), null, 28.61, 77.20));
+        }
+        crowd.add(new UserSummary(1000L, "annzz", null, 12.97, 77.59));
+        crowd.add(new UserSummary(1002L, "me", null, 12.97, 77.59));
+        given(userRepo.findAllSummaries()).willReturn(crowd);
+        suggestions.rebuild();
+        suggestions.add(User.builder().id(1001L).username("annyy").latitude(12.98).longitude(77.60).build());
+
+        List<UserSuggestion> result = suggestions.suggest("ann", 2, "me");
+
+        assertThat(result).extracting(UserSuggestion::getUsername).containsExactly("annzz", "annyy");
+    }
+
+    @Test
+    void newRegistrationsRankAmongMoreThan256BaseMatches() {
+        List<UserSummary> crowd = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            crowd.add(new UserSummary((long) i, String.format("ann%03d", i), null, null, null));
+        }
+        given(userRepo.findAllSummaries()).willReturn(crowd);
+        suggestions.rebuild();
+        suggestions.add(User.builder().id(1000L).username("annz").build());
+        suggestions.add(User.builder().id(1001L).username("zoe").fullName("Anna Zoe").build());
+
+        List<UserSuggestion> result = suggestions.suggest("ann", 3, null);
+
+        // Shortest username match first, ahead of every base user; name-only matches rank last.
+        assertThat(result).extracting(UserSuggestion::getUsername).containsExactly("annz", "ann000", "ann001");
+        assertThat(suggestions.suggest("anna", 3, null))
+                .extracting(UserSuggestion::getUsername).containsExactly("zoe");
+    }
+
+    @Test
+    void proximitySearchIgnoresDistantCrowdsAndFallsBackToNames() {
+        List<UserSummary> crowd = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            // Spread across Delhi, far from the caller in Bengaluru.
+            crowd.add(new UserSummary((long) i, "a" + i, null, 28.0 + (i % 100) / 100.0, 77.0 + (i / 100 % 100) / 100.0));
+        }
+        crowd.add(new UserSummary(200_000L, "me", null, 12.97, 77.59));
+        crowd.add(new UserSummary(200_001L, "aaron", null, 12.99, 77.60));
+        given(userRepo.findAllSummaries()).willReturn(crowd);
+        suggestions.rebuild();
+
+        List<UserSuggestion> result = suggestions.suggest("a", 3, "me");
+
+        assertThat(result).extracting(UserSuggestion::getUsername).containsExactly("aaron", "a0", "a1");
+        assertThat(result.get(0).getDistanceKm()).isEqualTo(5.0);
+        assertThat(result.get(1).getDistanceKm()).isGreaterThan(1000.0);
+    }
+}
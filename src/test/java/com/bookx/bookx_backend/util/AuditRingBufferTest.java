@@ -0,0 +1,68 @@
+package com.bookx.bookx_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void drainsInPublishOrder() {
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        ring.tryPublish(1, 10L, "a", "1.1.1.1");
+        ring.tryPublish(2, 20L, "b", "2.2.2.2");
+
+        List<String> seen = new ArrayList<>();
+        int drained = ring.drain(10, (type, ts, principal, source) -> seen.add(type + ":" + ts + ":" + principal));
+
+        assertThat(drained).isEqualTo(2);
+        assertThat(seen).containsExactly("1:10:a", "2:20:b");
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void rejectsWhenFullUntilDrained() {
+        AuditRingBuffer ring = new AuditRingBuffer(2);
+        assertThat(ring.tryPublish(0, 0L, "a", null)).isTrue();
+        assertThat(ring.tryPublish(0, 0L, "b", null)).isTrue();
+        assertThat(ring.tryPublish(0, 0L, "c", null)).isFalse();
+
+        ring.drain(1, (type, ts, principal, source) -> { });
+
+        assertThat(ring.tryPublish(0, 0L, "c", null)).isTrue();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingWhileConsumerKeepsUp() throws Exception {
+        AuditRingBuffer ring = new AuditRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.tryPublish(0, i, null, null)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        long consumed = 0;
+        while (done.getCount() > 0 || ring.size() > 0) {
+            consumed += ring.drain(256, (type, ts, principal, source) -> { });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(consumed).isEqualTo((long) producers * perProducer);
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookx.bookx_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    void addReportsOnlyFirstInsertionAcrossGrowth() {
+        LongHashSet set = new LongHashSet(2);
+        for (long i = -500; i < 500; i++) {
+            assertThat(set.add(i * 7919)).isTrue();
+        }
+        for (long i = -500; i < 500; i++) {
+            assertThat(set.add(i * 7919)).isFalse();
+        }
+        assertThat(set.add(Long.MIN_VALUE)).isTrue();
+        assertThat(set.add(Long.MIN_VALUE)).isFalse();
+    }
+}
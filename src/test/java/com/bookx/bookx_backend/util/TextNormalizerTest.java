@@ -0,0 +1,27 @@
+package com.bookx.bookx_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    @Test
+    void foldsCaseAndAccents() {
+        assertThat(TextNormalizer.fold("  José ")).isEqualTo("jose");
+        assertThat(TextNormalizer.fold(null)).isEmpty();
+    }
+
+    @Test
+    void foldsCollationExpansions() {
+        assertThat(TextNormalizer.fold("Straße")).isEqualTo(TextNormalizer.fold("STRASSE"));
+        assertThat(TextNormalizer.fold("Ærøskøbing")).isEqualTo("aeroskobing");
+        assertThat(TextNormalizer.fold("Łukasz")).isEqualTo("lukasz");
+    }
+
+    @Test
+    void foldsCompatibilityForms() {
+        assertThat(TextNormalizer.fold("ﬁona")).isEqualTo("fiona");
+        assertThat(TextNormalizer.fold("ＡＬＩＣＥ")).isEqualTo("alice");
+    }
+}
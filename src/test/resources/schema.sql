@@ -9,7 +9,33 @@ CREATE TABLE USERS (
     FULL_NAME VARCHAR(255),
     ENABLED BOOLEAN DEFAULT TRUE,
     REGISTERED_AT TIMESTAMP,
+    LAST_SEEN_AT TIMESTAMP,
+    ACTIVITY_COUNT BIGINT DEFAULT 0 NOT NULL,
     PROFILE_IMAGE_URL VARCHAR(255),
     LATITUDE DOUBLE,
     LONGITUDE DOUBLE
 );
+
+DROP TABLE IF EXISTS AUDIT_EVENTS;
+
+CREATE TABLE AUDIT_EVENTS (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    EVENT_TYPE VARCHAR(32) NOT NULL,
+    PRINCIPAL VARCHAR(255),
+    REMOTE_ADDRESS VARCHAR(64),
+    OCCURRED_AT TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_AUDIT_PRINCIPAL_TIME ON AUDIT_EVENTS (PRINCIPAL, OCCURRED_AT);
+
+DROP TABLE IF EXISTS TRADE_MESSAGES;
+
+CREATE TABLE TRADE_MESSAGES (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SENDER VARCHAR(255) NOT NULL,
+    RECIPIENT VARCHAR(255) NOT NULL,
+    BODY VARCHAR(2000) NOT NULL,
+    SENT_AT TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_TRADE_CONVERSATION ON TRADE_MESSAGES (SENDER, RECIPIENT, SENT_AT);